@@ -0,0 +1,33 @@
+package com.example.bankapp.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class AuditConfig {
+
+    /**
+     * app.audit.sink=jdbc appends to the audit_events table; app.audit.sink=file writes rolling JSON-lines
+     * files under app.audit.file.directory.
+     */
+    @Bean(destroyMethod = "close")
+    public AuditLog auditLog(@Value("${app.audit.sink:jdbc}") String sinkType,
+                             @Value("${app.audit.buffer-size:65536}") int bufferSize,
+                             @Value("${app.audit.batch-size:512}") int batchSize,
+                             @Value("${app.audit.overflow:BLOCK}") AuditLog.OverflowPolicy overflow,
+                             @Value("${app.audit.block-timeout-ms:50}") long blockTimeoutMs,
+                             @Value("${app.audit.file.directory:./audit}") String directory,
+                             @Value("${app.audit.file.max-bytes:67108864}") long maxBytes,
+                             JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) throws IOException {
+        AuditSink sink = "file".equalsIgnoreCase(sinkType)
+                ? new FileAuditSink(Path.of(directory), maxBytes, objectMapper)
+                : new JdbcAuditSink(jdbcTemplate);
+        return new AuditLog(sink, bufferSize, batchSize, overflow, blockTimeoutMs);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.bankapp.audit;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Schema for the append-only audit table; rows are batch-inserted by JdbcAuditSink, never updated
+@Entity
+@Immutable
+@Table(name = "audit_events", indexes = @Index(name = "idx_audit_events_occurred_at", columnList = "occurredAt"))
+public class AuditEntry {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AuditEventType type;
+
+    @Column(length = AuditLog.MAX_TEXT_LENGTH)
+    private String principal;
+    private Long userId;
+    private Long fromAccountId;
+    private Long toAccountId;
+    private BigDecimal amount;
+    @Column(length = AuditLog.MAX_TEXT_LENGTH)
+    private String detail;
+
+    public Long getId() { return id; }
+    public Instant getOccurredAt() { return occurredAt; }
+    public AuditEventType getType() { return type; }
+    public String getPrincipal() { return principal; }
+    public Long getUserId() { return userId; }
+    public Long getFromAccountId() { return fromAccountId; }
+    public Long getToAccountId() { return toAccountId; }
+    public BigDecimal getAmount() { return amount; }
+    public String getDetail() { return detail; }
+}
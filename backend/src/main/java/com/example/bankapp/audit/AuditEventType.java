@@ -0,0 +1,3 @@
+package com.example.bankapp.audit;
+
+public enum AuditEventType { LOGIN_SUCCESS, LOGIN_FAILURE, SIGNUP, PASSWORD_RESET, TRANSFER }
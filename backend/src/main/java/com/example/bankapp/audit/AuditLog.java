@@ -0,0 +1,169 @@
+package com.example.bankapp.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Security audit trail. Request threads only copy a few fields into a preallocated ring slot; a single
+ * {@code audit-writer} thread drains the ring in batches into the {@link AuditSink}. When the ring is
+ * full the {@link OverflowPolicy} decides between dropping the event and briefly waiting for space.
+ * {@link #close()} stops accepting new events and drains everything already published.
+ */
+public class AuditLog implements AutoCloseable {
+
+    public enum OverflowPolicy {
+        /** Count the event as dropped and return immediately. */
+        DROP,
+        /** Wait up to the block timeout for the writer to free a slot, then drop. */
+        BLOCK
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);   // producers unpark it sooner
+    // principal and detail land in varchar(255) columns (AuditEntry); anything longer would fail its whole batch
+    static final int MAX_TEXT_LENGTH = 255;
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AuditRingBuffer ring;
+    private final AuditSink sink;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();   // producers between the running check and publish
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean writerParked;
+
+    public AuditLog(AuditSink sink, int bufferSize, int batchSize, OverflowPolicy overflowPolicy, long blockTimeoutMs) {
+        this.ring = new AuditRingBuffer(bufferSize);
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+        this.writer = new Thread(this::drainLoop, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public void record(AuditEventType type, String principal) {
+        record(type, principal, null, null, null, null, null);
+    }
+
+    public void record(AuditEventType type, String principal, Long userId) {
+        record(type, principal, userId, null, null, null, null);
+    }
+
+    public void record(AuditEventType type, String principal, Long userId, Long fromAccountId, Long toAccountId,
+                       BigDecimal amount, String detail) {
+        inFlight.incrementAndGet();
+        try {
+            if (!running) {                              // writer is draining for shutdown; nothing new gets in
+                dropped.incrementAndGet();
+                return;
+            }
+            principal = truncate(principal);
+            detail = truncate(detail);
+            long now = System.currentTimeMillis();
+            long cents = amount == null ? 0 : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+            long uid = userId == null ? 0 : userId, from = fromAccountId == null ? 0 : fromAccountId,
+                    to = toAccountId == null ? 0 : toAccountId;
+
+            if (ring.tryPublish(now, type, principal, uid, from, to, amount != null, cents, detail)) {
+                wakeWriter();
+                return;
+            }
+            if (overflowPolicy == OverflowPolicy.BLOCK) {
+                long deadline = System.nanoTime() + blockTimeoutNanos;
+                while (running && System.nanoTime() < deadline) {
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                    if (ring.tryPublish(now, type, principal, uid, from, to, amount != null, cents, detail)) {
+                        wakeWriter();
+                        return;
+                    }
+                }
+            }
+            dropped.incrementAndGet();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static String truncate(String s) {
+        return s == null || s.length() <= MAX_TEXT_LENGTH ? s : s.substring(0, MAX_TEXT_LENGTH);
+    }
+
+    // the writer raises writerParked before its last emptiness check, so either it sees this event or we see the flag
+    private void wakeWriter() {
+        if (writerParked) LockSupport.unpark(writer);
+    }
+
+    /** Events lost because the ring was full. */
+    public long droppedCount() { return dropped.get(); }
+
+    /** Events lost because the sink rejected them, even when retried on their own. */
+    public long failedCount() { return failed.get(); }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        // keep going after close() until every producer that got past the running check has been written
+        while (running || inFlight.get() > 0 || !ring.isEmpty()) {
+            batch.clear();
+            if (ring.drainTo(batch, batchSize) == 0) {
+                if (running) {
+                    writerParked = true;
+                    if (running && ring.isEmpty()) LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    writerParked = false;
+                } else {
+                    Thread.onSpinWait();                  // a producer is still on its way into the ring
+                }
+                continue;
+            }
+            try {
+                sink.write(batch);
+            } catch (Exception ex) {
+                if (batch.size() == 1) {
+                    failed.incrementAndGet();
+                    log.error("Failed to write audit event {}", batch.get(0), ex);
+                    continue;
+                }
+                // one bad event must not take the rest of its batch down with it: replay them one by one
+                log.warn("Failed to write {} audit events, retrying one by one", batch.size(), ex);
+                for (AuditRecord r : batch) {
+                    try {
+                        sink.write(List.of(r));
+                    } catch (Exception rowEx) {
+                        failed.incrementAndGet();
+                        log.error("Failed to write audit event {}", r, rowEx);
+                    }
+                }
+            }
+        }
+        try {
+            sink.close();
+        } catch (Exception ex) {
+            log.warn("Failed to close audit sink", ex);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.bankapp.audit;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/** Immutable copy of one ring-buffer slot, made on the writer thread before the slot is released. */
+public record AuditRecord(Instant occurredAt, AuditEventType type, String principal, Long userId,
+                          Long fromAccountId, Long toAccountId, BigDecimal amount, String detail) {}
@@ -0,0 +1,88 @@
+package com.example.bankapp.audit;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Multi-producer, single-consumer ring of preallocated slots. Producers claim a sequence with one CAS,
+ * fill the slot in place and publish it with a volatile write; nothing is allocated on their side.
+ * The consumer copies published slots out in order and then releases them for reuse.
+ */
+final class AuditRingBuffer {
+
+    private static final class Slot {
+        volatile long sequence = -1;                     // == claimed sequence once the fields below are written
+        long timestamp;
+        AuditEventType type;
+        String principal;
+        long userId, fromAccountId, toAccountId;         // 0 = not applicable (ids start at 1)
+        long amountCents;
+        boolean hasAmount;
+        String detail;
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong(-1);     // last sequence handed to a producer
+    private final AtomicLong consumed = new AtomicLong(-1);    // last sequence released by the consumer
+
+    AuditRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("Audit buffer size must be a power of two");
+        slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) slots[i] = new Slot();
+        mask = capacity - 1;
+    }
+
+    /** Returns false without waiting if every slot is still waiting for the consumer. */
+    boolean tryPublish(long timestamp, AuditEventType type, String principal, long userId,
+                       long fromAccountId, long toAccountId, boolean hasAmount, long amountCents, String detail) {
+        long seq;
+        do {
+            long last = claimed.get();
+            seq = last + 1;
+            if (seq - consumed.get() > slots.length) return false;
+            if (claimed.compareAndSet(last, seq)) break;
+        } while (true);
+
+        Slot s = slots[(int) seq & mask];
+        s.timestamp = timestamp;
+        s.type = type;
+        s.principal = principal;
+        s.userId = userId;
+        s.fromAccountId = fromAccountId;
+        s.toAccountId = toAccountId;
+        s.hasAmount = hasAmount;
+        s.amountCents = amountCents;
+        s.detail = detail;
+        s.sequence = seq;
+        return true;
+    }
+
+    /** Consumer only: copies up to {@code max} consecutive published events into {@code out}. */
+    int drainTo(List<AuditRecord> out, int max) {
+        long next = consumed.get() + 1;
+        int n = 0;
+        while (n < max) {
+            Slot s = slots[(int) (next + n) & mask];
+            if (s.sequence != next + n) break;           // not claimed yet, or claimed but still being filled
+            out.add(new AuditRecord(Instant.ofEpochMilli(s.timestamp), s.type, s.principal, id(s.userId),
+                    id(s.fromAccountId), id(s.toAccountId), s.hasAmount ? BigDecimal.valueOf(s.amountCents, 2) : null,
+                    s.detail));
+            s.principal = null;
+            s.detail = null;
+            n++;
+        }
+        if (n > 0) consumed.lazySet(next + n - 1);
+        return n;
+    }
+
+    boolean isEmpty() {
+        return consumed.get() == claimed.get();
+    }
+
+    private static Long id(long v) {
+        return v == 0 ? null : v;
+    }
+}
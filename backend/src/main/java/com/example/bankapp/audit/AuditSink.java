@@ -0,0 +1,11 @@
+package com.example.bankapp.audit;
+
+import java.io.IOException;
+import java.util.List;
+
+/** Where the single audit writer thread sends each drained batch. Implementations need not be thread-safe. */
+public interface AuditSink {
+    void write(List<AuditRecord> batch) throws IOException;
+
+    default void close() throws IOException {}
+}
@@ -0,0 +1,73 @@
+package com.example.bankapp.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each batch as JSON lines to {@code audit.log} through a {@link FileChannel}, one write and
+ * one force per batch. Once the file passes {@code maxBytes} it is renamed to {@code audit-<millis>.log}
+ * (the next free millis if that name is taken, so archives sort in roll order and are never replaced)
+ * and a fresh file is started.
+ */
+public class FileAuditSink implements AuditSink {
+
+    private final Path directory;
+    private final Path current;
+    private final long maxBytes;
+    private final ObjectMapper objectMapper;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+    private FileChannel channel;
+    private long lastArchiveStamp;
+
+    public FileAuditSink(Path directory, long maxBytes, ObjectMapper objectMapper) throws IOException {
+        this.directory = directory;
+        this.current = directory.resolve("audit.log");
+        this.maxBytes = maxBytes;
+        this.objectMapper = objectMapper;
+        Files.createDirectories(directory);
+        open();
+    }
+
+    @Override
+    public void write(List<AuditRecord> batch) throws IOException {
+        buffer.reset();
+        for (AuditRecord r : batch) {
+            objectMapper.writeValue(buffer, r);
+            buffer.write('\n');
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+        while (bytes.hasRemaining()) channel.write(bytes);
+        channel.force(false);
+
+        if (channel.size() >= maxBytes) roll();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void roll() throws IOException {
+        channel.close();
+        // an atomic move silently replaces an existing target, so never aim it at a name already in use
+        long stamp = Math.max(System.currentTimeMillis(), lastArchiveStamp + 1);
+        Path archived;
+        while (Files.exists(archived = directory.resolve("audit-" + stamp + ".log"))) stamp++;
+        lastArchiveStamp = stamp;
+        Files.move(current, archived, StandardCopyOption.ATOMIC_MOVE);
+        open();
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(current, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
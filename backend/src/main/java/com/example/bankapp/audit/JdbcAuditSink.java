@@ -0,0 +1,28 @@
+package com.example.bankapp.audit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Appends each batch to {@code audit_events} with one JDBC batch insert. */
+public class JdbcAuditSink implements AuditSink {
+
+    private final JdbcTemplate jdbc;
+
+    public JdbcAuditSink(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void write(List<AuditRecord> batch) {
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (AuditRecord r : batch) {
+            args.add(new Object[]{Timestamp.from(r.occurredAt()), r.type().name(), r.principal(), r.userId(),
+                    r.fromAccountId(), r.toAccountId(), r.amount(), r.detail()});
+        }
+        jdbc.batchUpdate("insert into audit_events (occurred_at, type, principal, user_id, from_account_id, to_account_id, amount, detail) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?)", args);
+    }
+}
@@ -1,22 +1,28 @@
 package com.example.bankapp.auth;
 
+import com.example.bankapp.audit.AuditEventType;
+import com.example.bankapp.audit.AuditLog;
 import com.example.bankapp.security.JwtService;
+import com.example.bankapp.security.TokenRevocationStore;
+import io.jsonwebtoken.Claims;
 import com.example.bankapp.user.User;
 import com.example.bankapp.user.UserRepository;
 import com.example.bankapp.user.UserService;
+import com.example.bankapp.web.ErrorResponse;
+import com.example.bankapp.web.MessageResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
-import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -29,20 +35,31 @@ public class AuthController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final PasswordResetTokenRepository resetRepo;
+    private final TokenRevocationStore revocationStore;
+    private final AuditLog auditLog;
 
     public AuthController(AuthenticationManager authenticationManager, JwtService jwtService, UserService userService,
-                          UserRepository userRepository, PasswordEncoder passwordEncoder, PasswordResetTokenRepository resetRepo) {
+                          UserRepository userRepository, PasswordEncoder passwordEncoder, PasswordResetTokenRepository resetRepo,
+                          TokenRevocationStore revocationStore, AuditLog auditLog) {
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
         this.userService = userService;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.resetRepo = resetRepo;
+        this.revocationStore = revocationStore;
+        this.auditLog = auditLog;
     }
 
     public static record SignupRequest(String email, String password, String firstName, String lastName,
                                        String address, String phone, String ssn7){}
     public static record LoginRequest(String email, String password){}
+    public static record ForgotPasswordRequest(String email){}
+    public static record ResetPasswordRequest(String token, String newPassword){}
+
+    public static record SignupResponse(String message, Long userId){}
+    public static record LoginResponse(String token, String sessionId){}
+    public static record ResetTokenResponse(String resetToken){}
 
     @PostMapping("/signup")
     public ResponseEntity<?> signup(@Valid @RequestBody SignupRequest req) {
@@ -54,7 +71,8 @@ public class AuthController {
         u.setPhone(req.phone());
         u.setSsn7(req.ssn7());
         User saved = userService.register(u, req.password());
-        return ResponseEntity.ok(Map.of("message","User registered", "userId", saved.getId()));
+        auditLog.record(AuditEventType.SIGNUP, saved.getEmail(), saved.getId());
+        return ResponseEntity.ok(new SignupResponse("User registered", saved.getId()));
     }
 
     @PostMapping("/login")
@@ -63,21 +81,44 @@ public class AuthController {
             Authentication auth = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(req.email(), req.password())
             );
-        } catch (BadCredentialsException ex) {
-            // Bad username/password -> 401
+        } catch (AuthenticationException ex) {
+            // Bad username/password, locked or disabled account, ... -> 401
+            auditLog.record(AuditEventType.LOGIN_FAILURE, req.email(), null, null, null, null, ex.getClass().getSimpleName());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
+        auditLog.record(AuditEventType.LOGIN_SUCCESS, req.email());
         String token = jwtService.generateToken(req.email());
         session.setAttribute("lastLogin", Instant.now().toString());
-        return ResponseEntity.ok(Map.of("token", token, "sessionId", session.getId()));
+        return ResponseEntity.ok(new LoginResponse(token, session.getId()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                    HttpServletRequest request) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        Claims claims;
+        try {
+            claims = jwtService.extractAllClaims(authHeader.substring(7));
+        } catch (Exception ex) {
+            // already expired or tampered with: nothing left to revoke
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (claims.getId() != null) {
+            revocationStore.revokeToken(claims.getId(), claims.getExpiration());
+        }
+        HttpSession session = request.getSession(false);
+        if (session != null) session.invalidate();
+        return ResponseEntity.ok(new MessageResponse("Logged out"));
     }
 
     @PostMapping("/forgot-password")
-    public ResponseEntity<?> forgotPassword(@RequestBody Map<String,String> body) {
-        String email = body.get("email");
+    public ResponseEntity<?> forgotPassword(@RequestBody ForgotPasswordRequest req) {
+        String email = req.email();
         User u = userRepository.findByEmail(email).orElse(null);
-        if (u == null) return ResponseEntity.badRequest().body(Map.of("error","No user with that email"));
+        if (u == null) return ResponseEntity.badRequest().body(new ErrorResponse("No user with that email"));
         String token = UUID.randomUUID().toString();
         PasswordResetToken prt = new PasswordResetToken();
         prt.setToken(token);
@@ -85,21 +126,24 @@ public class AuthController {
         prt.setExpiresAt(Instant.now().plusSeconds(3600));
         resetRepo.save(prt);
         // demo: return token (prod would email)
-        return ResponseEntity.ok(Map.of("resetToken", token));
+        return ResponseEntity.ok(new ResetTokenResponse(token));
     }
 
     @PostMapping("/reset-password")
-    public ResponseEntity<?> resetPassword(@RequestBody Map<String,String> body) {
-        String token = body.get("token");
-        String newPwd = body.get("newPassword");
+    public ResponseEntity<?> resetPassword(@RequestBody ResetPasswordRequest req) {
+        String token = req.token();
+        String newPwd = req.newPassword();
         PasswordResetToken prt = resetRepo.findByToken(token).orElse(null);
         if (prt == null || prt.getExpiresAt().isBefore(Instant.now())) {
-            return ResponseEntity.badRequest().body(Map.of("error","Invalid or expired token"));
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid or expired token"));
         }
         User u = prt.getUser();
         u.setPasswordHash(passwordEncoder.encode(newPwd));
         userRepository.save(u);
+        // tokens issued with the old password must stop working now, not when they expire
+        revocationStore.revokeAllFor(u.getEmail());
+        auditLog.record(AuditEventType.PASSWORD_RESET, u.getEmail(), u.getId());
         resetRepo.deleteByToken(token);
-        return ResponseEntity.ok(Map.of("message","Password reset successful"));
+        return ResponseEntity.ok(new MessageResponse("Password reset successful"));
     }
 }
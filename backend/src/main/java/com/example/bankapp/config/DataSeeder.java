@@ -1,11 +1,15 @@
 package com.example.bankapp.config;
 
+import com.example.bankapp.user.Account;
+import com.example.bankapp.user.AccountRepository;
 import com.example.bankapp.user.User;
 import com.example.bankapp.user.UserService;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 @Configuration
 public class DataSeeder {
     @Bean
@@ -24,4 +28,14 @@ public class DataSeeder {
             } catch (Exception ignored) {}
         };
     }
+
+    // Accounts created before account numbers existed can't receive P2P transfers until they get one
+    @Bean
+    CommandLineRunner backfillAccountNumbers(AccountRepository accountRepository) {
+        return args -> {
+            List<Account> missing = accountRepository.findByAccountNumberIsNull();
+            missing.forEach(a -> a.setAccountNumber(accountRepository.nextFreeAccountNumber()));
+            accountRepository.saveAll(missing);
+        };
+    }
 }
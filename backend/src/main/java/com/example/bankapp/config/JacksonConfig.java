@@ -0,0 +1,38 @@
+package com.example.bankapp.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * JSON stays the default; clients sending {@code Accept: application/x-jackson-smile} or
+ * {@code application/cbor} get the same response records in a binary encoding. Every mapper
+ * comes from Boot's builder, so all three share modules (including Blackbird) and settings.
+ */
+@Configuration
+public class JacksonConfig {
+
+    // Replaces reflective getter/field access with generated lambdas; Boot registers Module beans itself
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    // Boot adds converter beans just ahead of the default converter of the same type rather than replacing it,
+    // so these win content negotiation; the defaults (plain mappers without our modules) stay behind, unreached
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.bankapp.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,10 +20,12 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationStore revocationStore;
 
-    public JwtAuthFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthFilter(JwtService jwtService, UserDetailsService userDetailsService, TokenRevocationStore revocationStore) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.revocationStore = revocationStore;
     }
 
     @Override
@@ -46,15 +49,23 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         final String jwt = authHeader.substring(7);
+        Claims claims;
         String username;
         try {
-            username = jwtService.extractUsername(jwt);
+            claims = jwtService.extractAllClaims(jwt);
+            username = claims.getSubject();
         } catch (Exception e) {
             // Bad token? Don't 403 here—just continue as anonymous
             filterChain.doFilter(request, response);
             return;
         }
 
+        // Revoked (logout / password reset)? In-memory check, so treat it like a bad token
+        if (revocationStore.isRevoked(claims.getId(), username, JwtService.issuedAtMillis(claims))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
             // Keep your existing signature; if your JwtService validates with username, use that:
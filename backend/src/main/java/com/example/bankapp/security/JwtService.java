@@ -10,11 +10,15 @@ import org.springframework.stereotype.Service;
 import java.security.Key;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    // "iat" only has whole seconds; revocation cutoffs need the exact issue time
+    static final String ISSUED_AT_MS = "iat_ms";
+
     private final String secret;
     private final long expirationMs;
 
@@ -29,16 +33,32 @@ public class JwtService {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parserBuilder().setSigningKey(getSignKey()).build().parseClaimsJws(token).getBody();
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(extractAllClaims(token));
+    }
+
+    public Claims extractAllClaims(String token) {
+        return Jwts.parserBuilder().setSigningKey(getSignKey()).build().parseClaimsJws(token).getBody();
+    }
+
+    /** Issue time of the token in epoch millis; tokens without {@code iat_ms} fall back to {@code iat}. */
+    public static long issuedAtMillis(Claims claims) {
+        Long ms = claims.get(ISSUED_AT_MS, Long.class);
+        if (ms != null) return ms;
+        return claims.getIssuedAt() == null ? 0 : claims.getIssuedAt().getTime();
     }
 
     public String generateToken(String username) {
+        return generateToken(username, System.currentTimeMillis());
+    }
+
+    String generateToken(String username, long issuedAtMs) {
         return Jwts.builder()
                 .setClaims(Map.of())
                 .setSubject(username)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
+                .setId(UUID.randomUUID().toString())   // jti: lets a single token be revoked
+                .setIssuedAt(new Date(issuedAtMs))
+                .claim(ISSUED_AT_MS, issuedAtMs)
+                .setExpiration(new Date(issuedAtMs + expirationMs))
                 .signWith(getSignKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
@@ -0,0 +1,31 @@
+package com.example.bankapp.security;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Persisted revocation, replayed into {@link TokenRevocationStore} at startup. {@code revocationKey} is
+ * either {@code jti:<id>} (one token) or {@code sub:<email>} (every token issued before {@code notBefore}).
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expiresAt"))
+public class RevokedToken {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String revocationKey;
+
+    private Instant notBefore;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    public Long getId() { return id; }
+    public String getRevocationKey() { return revocationKey; }
+    public void setRevocationKey(String revocationKey) { this.revocationKey = revocationKey; }
+    public Instant getNotBefore() { return notBefore; }
+    public void setNotBefore(Instant notBefore) { this.notBefore = notBefore; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -0,0 +1,20 @@
+package com.example.bankapp.security;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    // one bulk DELETE; the derived version would load every expired row first
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt < :now")
+    int deleteByExpiresAtBefore(@Param("now") Instant now);
+}
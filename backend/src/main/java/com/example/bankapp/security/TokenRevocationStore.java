@@ -0,0 +1,156 @@
+package com.example.bankapp.security;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Memory-resident JWT denylist checked on every authenticated request. A Bloom filter answers the
+ * common "not revoked" case with a few bit reads; only filter hits fall through to the exact map.
+ * Entries drop out once the tokens they cover would have expired anyway, in memory and in the
+ * {@code revoked_tokens} table alike, and the whole store is rebuilt from that table at startup,
+ * so revocations survive restarts.
+ */
+@Component
+public class TokenRevocationStore {
+
+    private static final int FILTER_BITS = 1 << 20;     // 128 KiB; ~1% false positives at ~100k live entries
+    private static final int HASHES = 7;
+    private static final long SWEEP_INTERVAL_MS = 60_000;
+
+    // revocationKey -> {notBefore, expiresAt} in epoch millis
+    private final ConcurrentHashMap<String, long[]> entries = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter = new BloomFilter();
+    private final AtomicLong nextSweepMs = new AtomicLong();
+
+    private final RevokedTokenRepository repository;
+    private final long tokenTtlMs;
+
+    public TokenRevocationStore(RevokedTokenRepository repository,
+                                @Value("${app.jwt.expiration-ms}") long tokenTtlMs) {
+        this.repository = repository;
+        this.tokenTtlMs = tokenTtlMs;
+    }
+
+    @PostConstruct
+    void rebuild() {
+        Instant now = Instant.now();
+        repository.deleteByExpiresAtBefore(now);
+        for (RevokedToken r : repository.findByExpiresAtAfter(now)) {
+            long notBefore = r.getNotBefore() == null ? Long.MAX_VALUE : r.getNotBefore().toEpochMilli();
+            remember(r.getRevocationKey(), notBefore, r.getExpiresAt().toEpochMilli());
+        }
+    }
+
+    // the table expires like the map does, but on the scheduler thread rather than inside a request
+    @Scheduled(initialDelay = SWEEP_INTERVAL_MS, fixedDelay = SWEEP_INTERVAL_MS)
+    void purgeExpired() {
+        repository.deleteByExpiresAtBefore(Instant.now());
+    }
+
+    /**
+     * True if the token with this jti, or every token of this subject issued at {@code issuedAtMs}
+     * (see {@link JwtService#issuedAtMillis}), was revoked.
+     */
+    public boolean isRevoked(String jti, String subject, long issuedAtMs) {
+        long now = System.currentTimeMillis();
+        long due = nextSweepMs.get();
+        if (now >= due && nextSweepMs.compareAndSet(due, now + SWEEP_INTERVAL_MS)) sweep(now);
+
+        return (jti != null && matches("jti:" + jti, issuedAtMs, now))
+                || (subject != null && matches("sub:" + subject, issuedAtMs, now));
+    }
+
+    /** Revokes a single token until its own expiry. */
+    public void revokeToken(String jti, Date expiresAt) {
+        persistAndRemember("jti:" + jti, null, expiresAt.toInstant());
+    }
+
+    /** Revokes every token issued to {@code subject} so far, e.g. after a password change. */
+    public void revokeAllFor(String subject) {
+        revokeAllFor(subject, Instant.now());
+    }
+
+    void revokeAllFor(String subject, Instant at) {
+        persistAndRemember("sub:" + subject, at, at.plusMillis(tokenTtlMs));
+    }
+
+    private void persistAndRemember(String key, Instant notBefore, Instant expiresAt) {
+        RevokedToken r = new RevokedToken();
+        r.setRevocationKey(key);
+        r.setNotBefore(notBefore);
+        r.setExpiresAt(expiresAt);
+        repository.save(r);
+        remember(key, notBefore == null ? Long.MAX_VALUE : notBefore.toEpochMilli(), expiresAt.toEpochMilli());
+    }
+
+    // writers are rare (logout, password reset) and serialize with sweep(), readers never lock
+    private synchronized void remember(String key, long notBefore, long expiresAt) {
+        entries.merge(key, new long[]{notBefore, expiresAt},
+                (a, b) -> new long[]{Math.max(a[0], b[0]), Math.max(a[1], b[1])});
+        filter.add(key);
+    }
+
+    private boolean matches(String key, long issuedAt, long now) {
+        if (!filter.mightContain(key)) return false;
+        long[] e = entries.get(key);
+        return e != null && e[1] > now && issuedAt <= e[0];   // same millisecond counts as before the cutoff
+    }
+
+    // drops expired entries and rebuilds the filter, since Bloom bits can't be removed individually
+    private synchronized void sweep(long now) {
+        entries.values().removeIf(e -> e[1] <= now);
+        BloomFilter rebuilt = new BloomFilter();
+        entries.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+    }
+
+    private static final class BloomFilter {
+        private final AtomicLongArray words = new AtomicLongArray(FILTER_BITS / 64);
+
+        void add(String key) {
+            long h = hash(key);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = index(h, i);
+                long mask = 1L << bit;
+                words.getAndUpdate(bit >>> 6, w -> w | mask);
+            }
+        }
+
+        boolean mightContain(String key) {
+            long h = hash(key);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = index(h, i);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        // Kirsch-Mitzenmacher: derive k indexes from the two 32-bit halves of one 64-bit hash
+        private static int index(long h, int i) {
+            int h1 = (int) h, h2 = (int) (h >>> 32);
+            return (h1 + i * h2) & (FILTER_BITS - 1);
+        }
+
+        private static long hash(String key) {
+            long h = 0xcbf29ce484222325L;               // FNV-1a, then a murmur3 finalizer to spread the bits
+            for (int i = 0; i < key.length(); i++) {
+                h ^= key.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb93fe53ebe9bL;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.bankapp.transfer;
 
 import com.example.bankapp.user.User;
 import com.example.bankapp.user.UserRepository;
+import com.example.bankapp.web.ErrorResponse;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.Min;
 import org.springframework.http.ResponseEntity;
@@ -10,7 +11,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/transfers")
@@ -25,17 +25,40 @@ public class TransferController {
     }
 
     public static record TransferRequest(Long fromId, Long toId, @Min(1) double amount, String memo){}
+    public static record TransferResponse(String status){}
+
+    private static final TransferResponse OK = new TransferResponse("ok");
 
     @PostMapping
     @Transactional
     public ResponseEntity<?> transfer(@RequestBody TransferRequest req, @AuthenticationPrincipal UserDetails principal) {
         if (req.fromId()==null || req.toId()==null || req.fromId().equals(req.toId())) {
-            return ResponseEntity.badRequest().body(Map.of("error","Invalid account selection"));
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid account selection"));
         }
-        if (req.amount() <= 0) return ResponseEntity.badRequest().body(Map.of("error","Amount must be positive"));
+        if (req.amount() <= 0) return ResponseEntity.badRequest().body(new ErrorResponse("Amount must be positive"));
 
         User u = userRepo.findByEmail(principal.getUsername()).orElseThrow();
         service.transferWithinUser(u.getId(), req.fromId(), req.toId(), BigDecimal.valueOf(req.amount()), req.memo());
-        return ResponseEntity.ok(Map.of("status","ok"));
+        return ResponseEntity.ok(OK);
+    }
+
+    // Send money to another customer's account, addressed by its public account number
+    public static record P2PTransferRequest(Long fromId, String toAccountNumber, @Min(1) double amount, String memo){}
+
+    @PostMapping("/p2p")
+    public ResponseEntity<?> transferToAccount(@RequestBody P2PTransferRequest req, @AuthenticationPrincipal UserDetails principal) {
+        if (req.fromId()==null || req.toAccountNumber()==null || req.toAccountNumber().isBlank()) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid account selection"));
+        }
+        if (req.amount() <= 0) return ResponseEntity.badRequest().body(new ErrorResponse("Amount must be positive"));
+
+        User u = userRepo.findByEmail(principal.getUsername()).orElseThrow();
+        try {
+            service.transferToAccountNumber(u.getId(), req.fromId(), req.toAccountNumber().trim(),
+                    BigDecimal.valueOf(req.amount()), req.memo());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage()));
+        }
+        return ResponseEntity.ok(OK);
     }
 }
@@ -1,35 +1,115 @@
 package com.example.bankapp.transfer;
 
+import com.example.bankapp.audit.AuditEventType;
+import com.example.bankapp.audit.AuditLog;
 import com.example.bankapp.user.Account;
 import com.example.bankapp.user.AccountRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class TransferService {
 
+    private static final int ACCOUNT_TYPE_CACHE_SIZE = 100_000;
+
     private final AccountRepository accounts;
+    private final TransferVelocityGuard velocityGuard;
+    private final AuditLog auditLog;
+    // an account's type never changes, so the velocity check can run before any row is locked
+    private final ConcurrentHashMap<Long, Account.AccountType> accountTypes = new ConcurrentHashMap<>();
 
-    public TransferService(AccountRepository accounts) {
+    public TransferService(AccountRepository accounts, TransferVelocityGuard velocityGuard, AuditLog auditLog) {
         this.accounts = accounts;
+        this.velocityGuard = velocityGuard;
+        this.auditLog = auditLog;
     }
 
     @Transactional
     public void transferWithinUser(Long userId, Long fromId, Long toId, BigDecimal amount, String memo) {
+        validate(fromId, toId, amount);
+        checkVelocity(userId, fromId, amount);
+        Account[] pair = lockPair(fromId, toId);
+        Account from = pair[0], to = pair[1];
+
+        // both accounts must belong to the current user
+        if (!from.getUserId().equals(userId) || !to.getUserId().equals(userId)) {
+            throw new IllegalArgumentException("Accounts must belong to the same user");
+        }
+        move(from, to, amount);
+        auditAfterCommit(userId, fromId, toId, amount, "internal");
+    }
+
+    @Transactional
+    public void transferToAccountNumber(Long userId, Long fromId, String toAccountNumber, BigDecimal amount, String memo) {
+        Long toId = accounts.findIdByAccountNumber(toAccountNumber)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown destination account"));
+        validate(fromId, toId, amount);
+        checkVelocity(userId, fromId, amount);
+        Account[] pair = lockPair(fromId, toId);
+        Account from = pair[0], to = pair[1];
+
+        // only the source account has to be ours; the destination can be any customer's
+        if (!from.getUserId().equals(userId)) {
+            throw new IllegalArgumentException("Source account must belong to the current user");
+        }
+        move(from, to, amount);
+        auditAfterCommit(userId, fromId, toId, amount, "p2p");
+    }
+
+    private void validate(Long fromId, Long toId, BigDecimal amount) {
         if (amount == null || amount.signum() <= 0) {
             throw new IllegalArgumentException("Amount must be positive");
         }
+        if (fromId == null || toId == null || fromId.equals(toId)) {
+            throw new IllegalArgumentException("Invalid account selection");
+        }
+    }
 
-        Account from = accounts.findById(fromId).orElseThrow();
-        Account to   = accounts.findById(toId).orElseThrow();
+    /**
+     * Burst limits are checked in memory before any row lock is taken, so a rejected burst never queues
+     * on FOR UPDATE. The transfer is counted at once; if the transaction does not commit (insufficient
+     * funds, not the owner, ...) it is taken back again.
+     */
+    private void checkVelocity(Long userId, Long fromId, BigDecimal amount) {
+        TransferVelocityGuard.Permit permit = velocityGuard.acquire(userId, typeOf(fromId), amount);
+        if (permit == null || !TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) velocityGuard.release(permit);
+            }
+        });
+    }
 
-        // both accounts must belong to the current user
-        if (!from.getUser().getId().equals(userId) || !to.getUser().getId().equals(userId)) {
-            throw new IllegalArgumentException("Accounts must belong to the same user");
+    private Account.AccountType typeOf(Long accountId) {
+        Account.AccountType type = accountTypes.get(accountId);
+        if (type != null) return type;
+        type = accounts.findTypeById(accountId).orElseThrow(() -> new IllegalArgumentException("Account not found"));
+        if (accountTypes.size() >= ACCOUNT_TYPE_CACHE_SIZE) accountTypes.clear();   // crude bound; refills on demand
+        accountTypes.put(accountId, type);
+        return type;
+    }
+
+    /**
+     * Locks both rows with a single SELECT ... FOR UPDATE ordered by id, so concurrent A->B and B->A
+     * transfers queue on the lower id instead of deadlocking. Returns {from, to}.
+     */
+    private Account[] lockPair(Long fromId, Long toId) {
+        List<Account> locked = accounts.lockAllByIdOrdered(List.of(fromId, toId));
+        if (locked.size() != 2) {
+            throw new IllegalArgumentException("Account not found");
         }
+        Account first = locked.get(0), second = locked.get(1);
+        return first.getId().equals(fromId) ? new Account[]{first, second} : new Account[]{second, first};
+    }
 
+    private void move(Account from, Account to, BigDecimal amount) {
         // sufficient funds
         if (from.getBalance().compareTo(amount) < 0) {
             throw new IllegalArgumentException("Insufficient funds");
@@ -42,4 +122,17 @@ public class TransferService {
         accounts.save(to);
         // Optionally: persist a Transfer ledger row with the 'memo'
     }
+
+    // only transfers that actually committed belong in the audit trail
+    private void auditAfterCommit(Long userId, Long fromId, Long toId, BigDecimal amount, String kind) {
+        Runnable record = () -> auditLog.record(AuditEventType.TRANSFER, null, userId, fromId, toId, amount, kind);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() { record.run(); }
+            });
+        } else {
+            record.run();
+        }
+    }
 }
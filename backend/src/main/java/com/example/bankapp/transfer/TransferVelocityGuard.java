@@ -0,0 +1,174 @@
+package com.example.bankapp.transfer;
+
+import com.example.bankapp.user.Account.AccountType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process velocity limits for outgoing transfers: per user and source account type, at most
+ * N transfers and X amount in any sliding minute. Counters live in fixed-size ring buffers of
+ * one-second buckets updated with CAS only, so a check costs a few atomic reads and no SQL.
+ * Users idle for a full window are evicted; at the tracked-user cap the least recently seen go first.
+ */
+@Component
+public class TransferVelocityGuard {
+
+    public static record Limit(int maxTransfers, BigDecimal maxAmount) {}
+
+    /** One recorded transfer, as returned by {@link #acquire}; hand it to {@link #release} to take it back. */
+    public static record Permit(Long userId, AccountType type, long second, long cents) {}
+
+    static final int BUCKETS = 60;                       // 60 x 1s = one-minute window
+    private static final int VALUE_BITS = 40;            // bucket slot = [24-bit second stamp | 40-bit value]
+    private static final long VALUE_MASK = (1L << VALUE_BITS) - 1;
+    private static final long STAMP_MASK = (1L << (64 - VALUE_BITS)) - 1;
+    private static final AccountType[] TYPES = AccountType.values();
+
+    private final Limit[] limits = new Limit[TYPES.length];
+    private final long[] maxCents = new long[TYPES.length];
+    private final int maxTrackedUsers;
+    private final LongSupplier clockMs;
+    private final ConcurrentHashMap<Long, Window> windows = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepSec = new AtomicLong();
+
+    @Autowired
+    public TransferVelocityGuard(
+            @Value("${app.transfer.velocity.checking.max-transfers-per-minute}") int checkingMaxTransfers,
+            @Value("${app.transfer.velocity.checking.max-amount-per-minute}") BigDecimal checkingMaxAmount,
+            @Value("${app.transfer.velocity.savings.max-transfers-per-minute}") int savingsMaxTransfers,
+            @Value("${app.transfer.velocity.savings.max-amount-per-minute}") BigDecimal savingsMaxAmount,
+            @Value("${app.transfer.velocity.max-tracked-users:100000}") int maxTrackedUsers) {
+        this(Map.of(AccountType.CHECKING, new Limit(checkingMaxTransfers, checkingMaxAmount),
+                        AccountType.SAVINGS, new Limit(savingsMaxTransfers, savingsMaxAmount)),
+                maxTrackedUsers, System::currentTimeMillis);
+    }
+
+    public TransferVelocityGuard(Map<AccountType, Limit> limits, int maxTrackedUsers, LongSupplier clockMs) {
+        for (AccountType t : TYPES) {
+            Limit l = limits.get(t);
+            this.limits[t.ordinal()] = l;
+            if (l == null) continue;
+            maxCents[t.ordinal()] = toCents(l.maxAmount());
+            if (maxCents[t.ordinal()] > VALUE_MASK) {
+                throw new IllegalArgumentException("Velocity amount limit for " + t + " does not fit a bucket");
+            }
+        }
+        this.maxTrackedUsers = maxTrackedUsers;
+        this.clockMs = clockMs;
+    }
+
+    /**
+     * Records a transfer of {@code amount} out of a {@code type} account of {@code userId}, or throws
+     * {@link VelocityLimitExceededException} (recording nothing) if it would break the limit.
+     * Returns the recorded permit, or null if the account type has no limit.
+     */
+    public Permit acquire(Long userId, AccountType type, BigDecimal amount) {
+        int t = type.ordinal();
+        Limit limit = limits[t];
+        if (limit == null) return null;                  // no limit configured for this account type
+        // checked before packing: a single amount that large would otherwise wrap the 40-bit bucket value
+        if (amount.compareTo(limit.maxAmount()) > 0) {
+            throw new VelocityLimitExceededException("Transfer velocity limit exceeded, try again later");
+        }
+
+        long nowSec = clockMs.getAsLong() / 1000;
+        Window w = windowFor(userId, nowSec);
+        w.lastSeenSec = nowSec;
+
+        long cents = toCents(amount);
+        int slot = t * BUCKETS + (int) (nowSec % BUCKETS);
+
+        // record first, then check: concurrent bursts from one user can only over-reject, never over-admit
+        add(w.counts, slot, nowSec, 1);
+        add(w.cents, slot, nowSec, cents);
+        if (sum(w.counts, t, nowSec) > limit.maxTransfers() || sum(w.cents, t, nowSec) > maxCents[t]) {
+            add(w.counts, slot, nowSec, -1);
+            add(w.cents, slot, nowSec, -cents);
+            throw new VelocityLimitExceededException("Transfer velocity limit exceeded, try again later");
+        }
+        return new Permit(userId, type, nowSec, cents);
+    }
+
+    /** Takes back a permit whose transfer did not go through. A no-op once its second has left the window. */
+    public void release(Permit permit) {
+        if (permit == null) return;
+        Window w = windows.get(permit.userId());
+        if (w == null) return;                           // evicted meanwhile, its counts are gone anyway
+        int slot = permit.type().ordinal() * BUCKETS + (int) (permit.second() % BUCKETS);
+        add(w.counts, slot, permit.second(), -1);
+        add(w.cents, slot, permit.second(), -permit.cents());
+    }
+
+    int trackedUsers() { return windows.size(); }
+
+    private Window windowFor(Long userId, long nowSec) {
+        Window w = windows.get(userId);
+        if (w != null) return w;
+
+        long due = nextSweepSec.get();
+        if (nowSec >= due && nextSweepSec.compareAndSet(due, nowSec + BUCKETS)) evictIdle(nowSec);
+        if (windows.size() >= maxTrackedUsers) makeRoom(nowSec);
+        return windows.computeIfAbsent(userId, id -> new Window(nowSec));
+    }
+
+    private void evictIdle(long nowSec) {
+        windows.values().removeIf(w -> nowSec - w.lastSeenSec >= BUCKETS);
+    }
+
+    // Every tracked user was active within the window: forget the least recently seen tenth, so a
+    // flood of new users costs the quietest ones their history instead of refusing everybody.
+    private synchronized void makeRoom(long nowSec) {
+        if (windows.size() < maxTrackedUsers) return;    // another thread already made room
+        evictIdle(nowSec);
+        if (windows.size() < maxTrackedUsers) return;
+
+        long[] seen = windows.values().stream().mapToLong(w -> w.lastSeenSec).toArray();
+        Arrays.sort(seen);
+        long cutoff = seen[seen.length / 10];
+        windows.values().removeIf(w -> w.lastSeenSec <= cutoff);
+    }
+
+    private static void add(AtomicLongArray slots, int slot, long nowSec, long delta) {
+        long stamp = nowSec & STAMP_MASK;
+        while (true) {
+            long cur = slots.get(slot);
+            boolean current = (cur >>> VALUE_BITS) == stamp;
+            if (!current && delta < 0) return;           // bucket already recycled, nothing left to undo
+            long value = (current ? (cur & VALUE_MASK) : 0) + delta;
+            long next = (stamp << VALUE_BITS) | (value & VALUE_MASK);
+            if (slots.compareAndSet(slot, cur, next)) return;
+        }
+    }
+
+    private static long sum(AtomicLongArray slots, int type, long nowSec) {
+        long stamp = nowSec & STAMP_MASK, total = 0;
+        for (int i = type * BUCKETS, end = i + BUCKETS; i < end; i++) {
+            long cur = slots.get(i);
+            long age = (stamp - (cur >>> VALUE_BITS)) & STAMP_MASK;
+            if (age < BUCKETS) total += cur & VALUE_MASK;
+        }
+        return total;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.UP).longValueExact();
+    }
+
+    private static final class Window {
+        final AtomicLongArray counts = new AtomicLongArray(TYPES.length * BUCKETS);
+        final AtomicLongArray cents = new AtomicLongArray(TYPES.length * BUCKETS);
+        volatile long lastSeenSec;
+
+        Window(long nowSec) { this.lastSeenSec = nowSec; }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.bankapp.transfer;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class VelocityLimitExceededException extends RuntimeException {
+    public VelocityLimitExceededException(String message) {
+        super(message);
+    }
+}
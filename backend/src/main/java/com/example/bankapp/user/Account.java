@@ -2,13 +2,20 @@ package com.example.bankapp.user;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.security.SecureRandom;
 
 @Entity
-@Table(name = "accounts")
+@Table(name = "accounts", indexes = @Index(name = "idx_accounts_account_number", columnList = "accountNumber", unique = true))
 public class Account {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Public identifier other customers use to send money here (the id stays internal)
+    @Column(length = 12)
+    private String accountNumber;
+
     @Enumerated(EnumType.STRING)
     private AccountType type;
 
@@ -18,13 +25,29 @@ public class Account {
     @JoinColumn(name="user_id")
     private User user;
 
+    // Read-only view of the FK so ownership checks don't have to touch the lazy user proxy
+    @Column(name = "user_id", insertable = false, updatable = false)
+    private Long userId;
+
     public enum AccountType { CHECKING, SAVINGS }
 
+    @PrePersist
+    void assignAccountNumber() {
+        if (accountNumber == null) accountNumber = generateAccountNumber();
+    }
+
+    public static String generateAccountNumber() {
+        return String.format("%012d", RANDOM.nextLong(1_000_000_000_000L));
+    }
+
     public Long getId() { return id; }
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
     public AccountType getType() { return type; }
     public void setType(AccountType type) { this.type = type; }
     public BigDecimal getBalance() { return balance; }
     public void setBalance(BigDecimal balance) { this.balance = balance; }
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
+    public Long getUserId() { return userId; }
 }
@@ -1,8 +1,38 @@
 package com.example.bankapp.user;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
     List<Account> findByUserId(Long userId);
+    List<Account> findByAccountNumberIsNull();
+    boolean existsByAccountNumber(String accountNumber);
+
+    // Random numbers rarely collide, but a collision would fail the insert on the unique index
+    default String nextFreeAccountNumber() {
+        String number;
+        do {
+            number = Account.generateAccountNumber();
+        } while (existsByAccountNumber(number));
+        return number;
+    }
+
+    @Query("select a.id from Account a where a.accountNumber = :accountNumber")
+    Optional<Long> findIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("select a.type from Account a where a.id = :id")
+    Optional<Account.AccountType> findTypeById(@Param("id") Long id);
+
+    // SELECT ... ORDER BY id FOR UPDATE: rows are locked in ascending id order, so any two
+    // transactions touching the same accounts always acquire them in the same sequence.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.id in :ids order by a.id")
+    List<Account> lockAllByIdOrdered(@Param("ids") Collection<Long> ids);
 }
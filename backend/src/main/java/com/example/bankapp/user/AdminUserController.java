@@ -0,0 +1,35 @@
+package com.example.bankapp.user;
+
+import com.example.bankapp.web.ErrorResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminUserController {
+
+    private final BulkUserImportService bulkImportService;
+
+    public AdminUserController(BulkUserImportService bulkImportService) {
+        this.bulkImportService = bulkImportService;
+    }
+
+    // Body is read as a stream: text/csv (with header row) or application/x-ndjson, one user per line
+    @PostMapping(value = "/bulk", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> bulkCreate(InputStream body, @RequestHeader("Content-Type") String contentType) throws IOException {
+        BulkUserImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf("text/csv"))
+                ? BulkUserImportService.Format.CSV
+                : BulkUserImportService.Format.NDJSON;
+        try {
+            return ResponseEntity.ok(bulkImportService.importUsers(body, format));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.bankapp.user;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a CSV or NDJSON upload and provisions users chunk by chunk: one duplicate-email query,
+ * parallel BCrypt hashing and two JDBC batch inserts (users, then their default accounts) per chunk.
+ * Bad rows are reported back instead of aborting the import.
+ */
+@Service
+public class BulkUserImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    // sizes match the varchar(255) columns; BCrypt only reads the first 72 bytes of a password
+    public static record BulkUserRow(@Email @NotBlank @Size(max = 255) String email,
+                                     @NotBlank @Size(max = 72) String password,
+                                     @NotBlank @Size(max = 255) String firstName,
+                                     @NotBlank @Size(max = 255) String lastName,
+                                     @NotBlank @Size(max = 255) String address,
+                                     @NotBlank @Size(max = 255) String phone,
+                                     @Pattern(regexp = "\\d{7}", message = "SSN must be exactly 7 digits") String ssn7) {}
+
+    public static record RowError(long line, String email, String error) {}
+
+    public static record BulkImportResult(int created, int failed, List<RowError> errors) {}
+
+    private static final Logger log = LoggerFactory.getLogger(BulkUserImportService.class);
+
+    // header names accepted in the CSV, in the order BulkUserRow expects them
+    private static final List<String> CSV_COLUMNS =
+            List.of("email", "password", "firstName", "lastName", "address", "phone", "ssn7");
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final TransactionTemplate tx;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public BulkUserImportService(JdbcTemplate jdbc, TransactionTemplate tx, PasswordEncoder passwordEncoder,
+                                 Validator validator, ObjectMapper objectMapper,
+                                 @Value("${app.bulk-import.chunk-size:500}") int chunkSize) {
+        this.jdbc = jdbc;
+        this.namedJdbc = new NamedParameterJdbcTemplate(jdbc);
+        this.tx = tx;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper.copy().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.chunkSize = chunkSize;
+    }
+
+    private record Pending(long line, BulkUserRow row) {}
+
+    public BulkImportResult importUsers(InputStream body, Format format) throws IOException {
+        List<RowError> errors = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<Pending> chunk = new ArrayList<>(chunkSize);
+        int created = 0;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        int[] columnIndex = format == Format.CSV ? readCsvHeader(reader.readLine()) : null;
+        long lineNo = format == Format.CSV ? 1 : 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) continue;
+
+            BulkUserRow row;
+            try {
+                row = format == Format.CSV ? parseCsv(line, columnIndex) : objectMapper.readValue(line, BulkUserRow.class);
+            } catch (Exception ex) {
+                errors.add(new RowError(lineNo, null, "Malformed row"));
+                continue;
+            }
+
+            String problem = validate(row);
+            if (problem == null && !seenEmails.add(normalize(row.email()))) problem = "Duplicate email in upload";
+            if (problem != null) {
+                errors.add(new RowError(lineNo, row.email(), problem));
+                continue;
+            }
+
+            chunk.add(new Pending(lineNo, row));
+            if (chunk.size() >= chunkSize) {
+                created += flush(chunk, errors);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) created += flush(chunk, errors);
+
+        errors.sort(Comparator.comparingLong(RowError::line));
+        return new BulkImportResult(created, errors.size(), errors);
+    }
+
+    private int flush(List<Pending> chunk, List<RowError> errors) {
+        // one set query for the whole chunk instead of existsByEmail per row
+        Set<String> existing = new HashSet<>(namedJdbc.queryForList(
+                "select email from users where email in (:emails)",
+                Map.of("emails", chunk.stream().map(p -> normalize(p.row().email())).toList()),
+                String.class));
+
+        List<Pending> fresh = new ArrayList<>(chunk.size());
+        for (Pending p : chunk) {
+            if (existing.contains(normalize(p.row().email()))) {
+                errors.add(new RowError(p.line(), p.row().email(), "Email already exists"));
+            } else {
+                fresh.add(p);
+            }
+        }
+        if (fresh.isEmpty()) return 0;
+
+        // BCrypt dominates the cost of an import; spread it over every core
+        List<String> hashes = fresh.parallelStream()
+                .map(p -> passwordEncoder.encode(p.row().password()))
+                .toList();
+
+        try {
+            tx.executeWithoutResult(status -> insertChunk(fresh, hashes));
+            return fresh.size();
+        } catch (RuntimeException ex) {
+            // e.g. a concurrent signup took one of the emails: the batch rolled back as a unit,
+            // so replay it one row per transaction to find and report only the rows that fail
+            log.warn("Bulk import batch of {} rows failed ({}), retrying row by row", fresh.size(), rootMessage(ex));
+        }
+
+        int created = 0;
+        for (int i = 0; i < fresh.size(); i++) {
+            Pending p = fresh.get(i);
+            String hash = hashes.get(i);
+            try {
+                tx.executeWithoutResult(status -> insertChunk(List.of(p), List.of(hash)));
+                created++;
+            } catch (RuntimeException ex) {
+                log.warn("Bulk import row {} ({}) failed", p.line(), p.row().email(), ex);
+                errors.add(new RowError(p.line(), p.row().email(), "Insert failed: " + rootMessage(ex)));
+            }
+        }
+        return created;
+    }
+
+    private void insertChunk(List<Pending> rows, List<String> hashes) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> userArgs = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            BulkUserRow r = rows.get(i).row();
+            userArgs.add(new Object[]{normalize(r.email()), hashes.get(i), r.firstName().trim(), r.lastName().trim(),
+                    r.address().trim(), r.phone().trim(), r.ssn7(), "USER", now});
+        }
+        jdbc.batchUpdate("insert into users (email, password_hash, first_name, last_name, address, phone, ssn7, roles, created_at) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?, ?)", userArgs);
+
+        // IDENTITY keys don't come back from a batch, so read them back in one query
+        Map<String, Long> ids = new HashMap<>();
+        namedJdbc.query("select id, email from users where email in (:emails)",
+                Map.of("emails", rows.stream().map(p -> normalize(p.row().email())).toList()),
+                rs -> { ids.put(rs.getString("email"), rs.getLong("id")); });
+
+        Iterator<String> numbers = freeAccountNumbers(rows.size() * 2).iterator();
+        List<Object[]> accountArgs = new ArrayList<>(rows.size() * 2);
+        for (Pending p : rows) {
+            Long userId = ids.get(normalize(p.row().email()));
+            accountArgs.add(new Object[]{userId, Account.AccountType.CHECKING.name(), UserService.DEFAULT_CHECKING_BALANCE, numbers.next()});
+            accountArgs.add(new Object[]{userId, Account.AccountType.SAVINGS.name(), UserService.DEFAULT_SAVINGS_BALANCE, numbers.next()});
+        }
+        jdbc.batchUpdate("insert into accounts (user_id, type, balance, account_number) values (?, ?, ?, ?)", accountArgs);
+    }
+
+    // random numbers, minus any already taken (one query per round; a second round is practically never needed)
+    private Set<String> freeAccountNumbers(int count) {
+        Set<String> numbers = new LinkedHashSet<>();
+        while (numbers.size() < count) {
+            Set<String> candidates = new HashSet<>();
+            while (candidates.size() < count - numbers.size()) {
+                String n = Account.generateAccountNumber();
+                if (!numbers.contains(n)) candidates.add(n);
+            }
+            candidates.removeAll(namedJdbc.queryForList(
+                    "select account_number from accounts where account_number in (:numbers)",
+                    Map.of("numbers", candidates), String.class));
+            numbers.addAll(candidates);
+        }
+        return numbers;
+    }
+
+    private static String rootMessage(Exception ex) {
+        String message = String.valueOf(NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+
+    private String validate(BulkUserRow row) {
+        Set<ConstraintViolation<BulkUserRow>> violations = validator.validate(row);
+        if (violations.isEmpty()) return null;
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String normalize(String email) {
+        // trimmed only: register() stores emails as given and login matches them exactly
+        return email.trim();
+    }
+
+    private static int[] readCsvHeader(String header) {
+        if (header == null) throw new IllegalArgumentException("Empty CSV upload");
+        List<String> names = splitCsv(header).stream().map(String::trim).toList();
+        int[] index = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < CSV_COLUMNS.size(); i++) {
+            index[i] = names.indexOf(CSV_COLUMNS.get(i));
+            if (index[i] < 0) throw new IllegalArgumentException("CSV header is missing column " + CSV_COLUMNS.get(i));
+        }
+        return index;
+    }
+
+    private static BulkUserRow parseCsv(String line, int[] index) {
+        List<String> cells = splitCsv(line);
+        String[] v = new String[index.length];
+        for (int i = 0; i < index.length; i++) v[i] = index[i] < cells.size() ? cells.get(index[i]) : null;
+        return new BulkUserRow(v[0], v[1], v[2], v[3], v[4], v[5], v[6]);
+    }
+
+    // RFC 4180 cells on a single line: quoted cells may contain commas and "" escapes
+    private static List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') { cell.append('"'); i++; }
+                else if (c == '"') quoted = false;
+                else cell.append(c);
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+}
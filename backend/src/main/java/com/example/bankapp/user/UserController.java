@@ -1,11 +1,12 @@
 package com.example.bankapp.user;
 
+import com.example.bankapp.web.MessageResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
@@ -19,37 +20,46 @@ public class UserController {
         this.accountRepository = accountRepository;
     }
 
+    public static record MeResponse(Long id, String email, String firstName, String lastName,
+                                    String address, String phone, String roles) {
+        static MeResponse from(User u) {
+            return new MeResponse(u.getId(), u.getEmail(), u.getFirstName(), u.getLastName(),
+                    u.getAddress(), u.getPhone(), u.getRoles());
+        }
+    }
+
+    // Only what the account pages render; never the owning User (lazy proxy, password hash)
+    public static record AccountResponse(Long id, String accountNumber, Account.AccountType type, BigDecimal balance) {
+        public static AccountResponse from(Account a) {
+            return new AccountResponse(a.getId(), a.getAccountNumber(), a.getType(), a.getBalance());
+        }
+    }
+
+    private static final MessageResponse UPDATED = new MessageResponse("updated");
+
     @GetMapping("/users/me")
-    public Map<String, Object> me(Authentication auth) {
+    public MeResponse me(Authentication auth) {
         User u = userRepository.findByEmail(auth.getName()).orElseThrow();
-        return Map.of(
-                "id", u.getId(),
-                "email", u.getEmail(),
-                "firstName", u.getFirstName(),
-                "lastName", u.getLastName(),
-                "address", u.getAddress(),
-                "phone", u.getPhone(),
-                "roles", u.getRoles()
-        );
+        return MeResponse.from(u);
     }
 
     // Update address/phone for the current user (email stays immutable here)
     public static record UpdateMeRequest(String address, String phone) {}
 
     @PutMapping("/users/me")
-    public ResponseEntity<?> updateMe(Authentication auth, @RequestBody UpdateMeRequest req) {
+    public ResponseEntity<MessageResponse> updateMe(Authentication auth, @RequestBody UpdateMeRequest req) {
         User u = userRepository.findByEmail(auth.getName()).orElseThrow();
 
         if (req.address() != null) u.setAddress(req.address().trim());
         if (req.phone()   != null) u.setPhone(req.phone().trim());
 
         userRepository.save(u);
-        return ResponseEntity.ok(Map.of("message", "updated"));
+        return ResponseEntity.ok(UPDATED);
     }
 
     @GetMapping("/accounts/me")
-    public List<Account> myAccounts(Authentication auth) {
+    public List<AccountResponse> myAccounts(Authentication auth) {
         User u = userRepository.findByEmail(auth.getName()).orElseThrow();
-        return accountRepository.findByUserId(u.getId());
+        return accountRepository.findByUserId(u.getId()).stream().map(AccountResponse::from).toList();
     }
 }
@@ -8,6 +8,10 @@ import java.util.List;
 
 @Service
 public class UserService {
+    // Opening balances for the default accounts every new user gets
+    static final BigDecimal DEFAULT_CHECKING_BALANCE = new BigDecimal("100.00");
+    static final BigDecimal DEFAULT_SAVINGS_BALANCE = new BigDecimal("250.00");
+
     private final UserRepository userRepository;
     private final AccountRepository accountRepository;
     private final PasswordEncoder passwordEncoder;
@@ -28,12 +32,14 @@ public class UserService {
         // Create default checking and savings accounts
         Account checking = new Account();
         checking.setType(Account.AccountType.CHECKING);
-        checking.setBalance(new BigDecimal("100.00"));
+        checking.setBalance(DEFAULT_CHECKING_BALANCE);
+        checking.setAccountNumber(accountRepository.nextFreeAccountNumber());
         checking.setUser(saved);
 
         Account savings = new Account();
         savings.setType(Account.AccountType.SAVINGS);
-        savings.setBalance(new BigDecimal("250.00"));
+        savings.setBalance(DEFAULT_SAVINGS_BALANCE);
+        savings.setAccountNumber(accountRepository.nextFreeAccountNumber());
         savings.setUser(saved);
 
         accountRepository.saveAll(List.of(checking, savings));
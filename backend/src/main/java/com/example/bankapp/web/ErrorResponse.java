@@ -0,0 +1,4 @@
+package com.example.bankapp.web;
+
+/** {@code {"error": ...}} body for 4xx responses; the frontend shows {@code error} verbatim. */
+public record ErrorResponse(String error) {}
@@ -0,0 +1,4 @@
+package com.example.bankapp.web;
+
+/** {@code {"message": ...}} body shared by endpoints that only confirm an action. */
+public record MessageResponse(String message) {}
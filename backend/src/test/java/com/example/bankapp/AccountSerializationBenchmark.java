@@ -0,0 +1,103 @@
+package com.example.bankapp;
+
+import com.example.bankapp.user.Account;
+import com.example.bankapp.user.User;
+import com.example.bankapp.user.UserController.AccountResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bytes on the wire and serialization throughput for the GET /api/accounts/me payload, per encoding.
+ * Not part of the regular test run (surefire only picks up *Tests); run it with
+ * {@code mvn test -Dtest=AccountSerializationBenchmark}.
+ */
+class AccountSerializationBenchmark {
+
+    private static final int ACCOUNTS = 2;               // what every user has today: CHECKING + SAVINGS
+    private static final long WARMUP_NANOS = 2_000_000_000L, MEASURE_NANOS = 1_000_000_000L;
+
+    private static ObjectMapper mapper(JsonFactory factory, boolean blackbird) {
+        ObjectMapper m = new ObjectMapper(factory).findAndRegisterModules();
+        return blackbird ? m.registerModule(new BlackbirdModule()) : m;
+    }
+
+    private record Case(String name, ObjectMapper mapper, Object payload) {}
+
+    @Test
+    void accountList() throws Exception {
+        List<AccountResponse> dtos = new ArrayList<>();
+        List<Account> entities = new ArrayList<>();
+        User owner = new User();
+        owner.setEmail("bench@bank.local");
+        owner.setPasswordHash("$2a$10$abcdefghijklmnopqrstuuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ01");
+        owner.setFirstName("Bench");
+        owner.setLastName("User");
+        owner.setAddress("1 Bank Street");
+        owner.setPhone("555-0000");
+        owner.setSsn7("1234567");
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account a = new Account();
+            a.setType(i % 2 == 0 ? Account.AccountType.CHECKING : Account.AccountType.SAVINGS);
+            a.setBalance(new BigDecimal("1234.56").add(BigDecimal.valueOf(i)));
+            a.setAccountNumber(Account.generateAccountNumber());
+            a.setUser(owner);
+            entities.add(a);
+            dtos.add(new AccountResponse((long) i + 1, a.getAccountNumber(), a.getType(), a.getBalance()));
+        }
+
+        List<Case> cases = List.of(
+                new Case("entity  / JSON (before)", mapper(new JsonFactory(), false), entities),
+                new Case("records / JSON", mapper(new JsonFactory(), false), dtos),
+                new Case("records / JSON + Blackbird", mapper(new JsonFactory(), true), dtos),
+                new Case("records / Smile + Blackbird", mapper(new SmileFactory(), true), dtos),
+                new Case("records / CBOR + Blackbird", mapper(new CBORFactory(), true), dtos));
+
+        System.out.printf("%n%-30s %8s %14s%n", "GET /api/accounts/me", "bytes", "ops/s");
+        long[] bytes = new long[cases.size()];
+        for (int i = 0; i < cases.size(); i++) {
+            Case c = cases.get(i);
+            bytes[i] = c.mapper().writeValueAsBytes(c.payload()).length;
+            System.out.printf("%-30s %8d %,14.0f%n", c.name(), bytes[i], throughput(c));
+        }
+
+        // binary encodings must decode back to the same records
+        for (Case c : cases.subList(3, 5)) {
+            byte[] encoded = c.mapper().writeValueAsBytes(c.payload());
+            assertEquals(dtos, c.mapper().readValue(encoded, new TypeReference<List<AccountResponse>>() {}), c.name());
+        }
+        assertTrue(bytes[1] < bytes[0], "records should be smaller than the entity graph");
+        assertTrue(bytes[3] < bytes[1] && bytes[4] < bytes[1], "binary encodings should beat JSON: " + Arrays.toString(bytes));
+    }
+
+    private static double throughput(Case c) throws Exception {
+        ObjectMapper m = c.mapper();
+        Object payload = c.payload();
+        long sink = 0;
+        for (long end = System.nanoTime() + WARMUP_NANOS; System.nanoTime() < end; ) sink += m.writeValueAsBytes(payload).length;
+
+        double best = 0;
+        for (int round = 0; round < 3; round++) {
+            long ops = 0, start = System.nanoTime(), end = start + MEASURE_NANOS;
+            while (System.nanoTime() < end) {
+                sink += m.writeValueAsBytes(payload).length;
+                ops++;
+            }
+            best = Math.max(best, ops * 1e9 / (System.nanoTime() - start));
+        }
+        // consuming the sum keeps the loop from being optimized away
+        assertTrue(sink > 0, c.name() + " produced no bytes");
+        return best;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.bankapp;
+
+import com.example.bankapp.user.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.bulk-import.chunk-size=2")
+class BulkUserImportTests {
+
+    @Autowired
+    BulkUserImportService importService;
+    @Autowired
+    UserService userService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Test
+    void csvImport_createsUsersWithAccounts_andReportsBadRows() throws Exception {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        User existing = new User();
+        existing.setEmail("taken-" + tag + "@bank.local");
+        existing.setFirstName("Taken");
+        existing.setLastName("User");
+        existing.setAddress("1 Main");
+        existing.setPhone("555-3333");
+        existing.setSsn7("1231231");
+        userService.register(existing, "Secret123!");
+
+        String csv = String.join("\n",
+                "ssn7,email,password,firstName,lastName,address,phone",
+                "1000001,a-" + tag + "@bank.local,Pw1!,Ann,Lee,\"1 Elm St, Apt 2\",555-0001",
+                "1000002,b-" + tag + "@bank.local,Pw2!,Bob,Ray,2 Elm St,555-0002",
+                "12,c-" + tag + "@bank.local,Pw3!,Cy,Ng,3 Elm St,555-0003",
+                "1000004,a-" + tag + "@bank.local,Pw4!,Ann,Dup,4 Elm St,555-0004",
+                "1000005,taken-" + tag + "@bank.local,Pw5!,Tak,En,5 Elm St,555-0005",
+                "1000006,d-" + tag + "@bank.local,Pw6!,Dee,Oh,6 Elm St,555-0006");
+
+        BulkUserImportService.BulkImportResult result = importService.importUsers(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), BulkUserImportService.Format.CSV);
+
+        assertEquals(3, result.created());
+        assertEquals(List.of(4L, 5L, 6L), result.errors().stream().map(BulkUserImportService.RowError::line).toList());
+
+        User ann = userRepository.findByEmail("a-" + tag + "@bank.local").orElseThrow();
+        assertEquals("1 Elm St, Apt 2", ann.getAddress());
+        assertEquals("USER", ann.getRoles());
+        assertTrue(passwordEncoder.matches("Pw1!", ann.getPasswordHash()));
+        List<Account> accounts = accountRepository.findByUserId(ann.getId());
+        assertEquals(2, accounts.size());
+        accounts.forEach(a -> assertNotNull(a.getAccountNumber()));
+    }
+
+    @Test
+    void ndjsonImport_skipsMalformedLines() throws Exception {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        String ndjson = String.join("\n",
+                "{\"email\":\"n1-" + tag + "@bank.local\",\"password\":\"Pw1!\",\"firstName\":\"N\",\"lastName\":\"One\",\"address\":\"1 Oak\",\"phone\":\"555\",\"ssn7\":\"2000001\"}",
+                "{not json",
+                "",
+                "{\"email\":\"not-an-email\",\"password\":\"Pw3!\",\"firstName\":\"N\",\"lastName\":\"Three\",\"address\":\"3 Oak\",\"phone\":\"555\",\"ssn7\":\"2000003\"}");
+
+        BulkUserImportService.BulkImportResult result = importService.importUsers(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), BulkUserImportService.Format.NDJSON);
+
+        assertEquals(1, result.created());
+        assertEquals(2, result.failed());
+        assertTrue(userRepository.existsByEmail("n1-" + tag + "@bank.local"));
+    }
+
+    @Test
+    void failingRow_onlyFailsItself_notItsChunk() throws Exception {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        // passes validation but Postgres rejects the NUL byte, after the row is already in a batch
+        String csv = String.join("\n",
+                "ssn7,email,password,firstName,lastName,address,phone",
+                "3000001,ok-" + tag + "@bank.local,Pw1!,Ok,Row,1 Pine,555-0001",
+                "3000002,nul-" + tag + "@bank.local,Pw2!,Nul,Row,2\u0000Pine,555-0002",
+                "3000003,long-" + tag + "@bank.local,Pw3!,Long,Row," + "x".repeat(300) + ",555-0003");
+
+        BulkUserImportService.BulkImportResult result = importService.importUsers(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), BulkUserImportService.Format.CSV);
+
+        assertEquals(1, result.created());
+        assertEquals(List.of(3L, 4L), result.errors().stream().map(BulkUserImportService.RowError::line).toList());
+        assertTrue(result.errors().get(0).error().startsWith("Insert failed: "));
+        assertTrue(userRepository.existsByEmail("ok-" + tag + "@bank.local"));
+        assertFalse(userRepository.existsByEmail("nul-" + tag + "@bank.local"));
+        assertFalse(userRepository.existsByEmail("long-" + tag + "@bank.local"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.bankapp;
+
+import com.example.bankapp.transfer.TransferService;
+import com.example.bankapp.user.Account;
+import com.example.bankapp.user.AccountRepository;
+import com.example.bankapp.user.User;
+import com.example.bankapp.user.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// velocity limits would otherwise reject most of this deliberately bursty load
+@SpringBootTest(properties = {
+        "app.transfer.velocity.checking.max-transfers-per-minute=1000000",
+        "app.transfer.velocity.checking.max-amount-per-minute=100000000",
+        "app.transfer.velocity.savings.max-transfers-per-minute=1000000",
+        "app.transfer.velocity.savings.max-amount-per-minute=100000000"
+})
+class TransferServiceConcurrencyTests {
+
+    @Autowired
+    UserService userService;
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    TransferService transferService;
+
+    @Test
+    void randomCrossUserTransfers_neverDeadlock_andLoseNoUpdates() throws Exception {
+        // a small account pool keeps contention high: every pair gets hit in both directions
+        List<Account> pool = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            User u = new User();
+            u.setEmail("p2p-" + UUID.randomUUID() + "@bank.local");
+            u.setFirstName("P2P");
+            u.setLastName("User" + i);
+            u.setAddress("1 Ledger Way");
+            u.setPhone("555-2222");
+            u.setSsn7("1112223");
+            pool.addAll(accountRepository.findByUserId(userService.register(u, "Secret123!").getId()));
+        }
+        Map<Long, BigDecimal> initial = new HashMap<>();
+        pool.forEach(a -> initial.put(a.getId(), a.getBalance()));
+
+        int threads = 8, transfersPerThread = 150;
+        Map<Long, BigDecimal> expectedDelta = new ConcurrentHashMap<>();
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService exec = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            exec.submit(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < transfersPerThread; i++) {
+                    Account from = pool.get(rnd.nextInt(pool.size()));
+                    Account to = pool.get(rnd.nextInt(pool.size()));
+                    if (from.getId().equals(to.getId())) continue;
+                    BigDecimal amount = BigDecimal.valueOf(rnd.nextInt(1, 40));
+                    try {
+                        transferService.transferToAccountNumber(from.getUserId(), from.getId(),
+                                to.getAccountNumber(), amount, "load");
+                        expectedDelta.merge(from.getId(), amount.negate(), BigDecimal::add);
+                        expectedDelta.merge(to.getId(), amount, BigDecimal::add);
+                    } catch (IllegalArgumentException ex) {
+                        if (!"Insufficient funds".equals(ex.getMessage())) failures.add(ex);
+                    } catch (Throwable ex) {
+                        // a deadlock surfaces here as a lock-acquisition/persistence exception
+                        failures.add(ex);
+                    }
+                }
+            });
+        }
+        start.countDown();
+        exec.shutdown();
+        assertTrue(exec.awaitTermination(2, TimeUnit.MINUTES), "transfers did not finish (possible lock wait)");
+        assertTrue(failures.isEmpty(), () -> "unexpected failures: " + failures);
+        assertFalse(expectedDelta.isEmpty(), "no transfer went through");
+
+        BigDecimal totalBefore = BigDecimal.ZERO, totalAfter = BigDecimal.ZERO;
+        for (Account a : pool) {
+            BigDecimal after = accountRepository.findById(a.getId()).orElseThrow().getBalance();
+            BigDecimal expected = initial.get(a.getId()).add(expectedDelta.getOrDefault(a.getId(), BigDecimal.ZERO));
+            assertEquals(0, expected.compareTo(after), "lost update on account " + a.getId());
+            assertTrue(after.signum() >= 0, "negative balance on account " + a.getId());
+            totalBefore = totalBefore.add(initial.get(a.getId()));
+            totalAfter = totalAfter.add(after);
+        }
+        assertEquals(0, totalBefore.compareTo(totalAfter), "money was created or destroyed");
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.bankapp.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogTests {
+
+    /** Collects what the writer thread hands over; can be held shut to back the ring up. */
+    static class CollectingSink implements AuditSink {
+        final List<AuditRecord> written = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch gate;
+        volatile boolean closed;
+
+        CollectingSink(boolean open) { gate = new CountDownLatch(open ? 0 : 1); }
+
+        @Override
+        public void write(List<AuditRecord> batch) throws IOException {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            written.addAll(batch);
+        }
+
+        @Override
+        public void close() { closed = true; }
+    }
+
+    /** Rejects a whole batch the way the database rejects one multi-row INSERT: if any row is bad. */
+    static class StrictSink extends CollectingSink {
+        StrictSink() { super(false); }
+
+        @Override
+        public void write(List<AuditRecord> batch) throws IOException {
+            for (AuditRecord r : batch) {
+                if (r.principal() != null && r.principal().length() > 255) throw new IOException("value too long");
+                if ("poison".equals(r.detail())) throw new IOException("rejected");
+            }
+            super.write(batch);
+        }
+    }
+
+    @Test
+    void oversizedPrincipal_isTruncated_andItsBatchIsWritten() {
+        StrictSink sink = new StrictSink();
+        AuditLog audit = new AuditLog(sink, 64, 64, AuditLog.OverflowPolicy.BLOCK, 1_000);
+        String huge = "x".repeat(300) + "@bank.local";
+        for (int i = 0; i < 10; i++) audit.record(AuditEventType.LOGIN_FAILURE, i == 5 ? huge : "u" + i + "@bank.local");
+        sink.gate.countDown();
+        audit.close();
+
+        assertEquals(0, audit.failedCount());
+        assertEquals(10, sink.written.size());
+        assertEquals(huge.substring(0, 255), sink.written.get(5).principal());
+    }
+
+    @Test
+    void failedBatch_isRetriedOneByOne_andOnlyTheBadEventIsLost() {
+        StrictSink sink = new StrictSink();
+        AuditLog audit = new AuditLog(sink, 64, 64, AuditLog.OverflowPolicy.BLOCK, 1_000);
+        for (int i = 0; i < 10; i++) {
+            audit.record(AuditEventType.TRANSFER, null, (long) i + 1, 1L, 2L, BigDecimal.ONE, i == 5 ? "poison" : "p2p");
+        }
+        sink.gate.countDown();
+        audit.close();
+
+        assertEquals(1, audit.failedCount());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 7L, 8L, 9L, 10L), sink.written.stream().map(AuditRecord::userId).toList());
+    }
+
+    @Test
+    void concurrentProducers_deliverEveryEventInPublishOrder() throws Exception {
+        CollectingSink sink = new CollectingSink(true);
+        AuditLog audit = new AuditLog(sink, 1024, 64, AuditLog.OverflowPolicy.BLOCK, 5_000);
+
+        int producers = 8, perProducer = 20_000;
+        ExecutorService exec = Executors.newFixedThreadPool(producers);
+        for (int p = 0; p < producers; p++) {
+            long userId = p + 1;
+            exec.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    audit.record(AuditEventType.TRANSFER, null, userId, (long) i + 1, null, new BigDecimal("1.25"), "p2p");
+                }
+            });
+        }
+        exec.shutdown();
+        assertTrue(exec.awaitTermination(1, TimeUnit.MINUTES));
+        audit.close();
+
+        assertTrue(sink.closed);
+        assertEquals(0, audit.droppedCount());
+        assertEquals(producers * perProducer, sink.written.size());
+        // each producer's events arrive in the order it published them
+        Map<Long, Long> lastSeen = new HashMap<>();
+        for (AuditRecord r : sink.written) {
+            Long prev = lastSeen.put(r.userId(), r.fromAccountId());
+            assertEquals(prev == null ? 1L : prev + 1, r.fromAccountId());
+            assertEquals(new BigDecimal("1.25"), r.amount());
+            assertNull(r.toAccountId());
+        }
+    }
+
+    @Test
+    void dropPolicy_countsWhatDoesNotFit_andCloseDrainsTheRest() {
+        CollectingSink sink = new CollectingSink(false);
+        AuditLog audit = new AuditLog(sink, 8, 4, AuditLog.OverflowPolicy.DROP, 0);
+
+        for (int i = 0; i < 100; i++) audit.record(AuditEventType.LOGIN_FAILURE, "user" + i + "@bank.local");
+        assertTrue(audit.droppedCount() > 0);
+
+        sink.gate.countDown();
+        audit.close();
+        assertEquals(100, sink.written.size() + audit.droppedCount());
+        assertEquals("user0@bank.local", sink.written.get(0).principal());
+    }
+
+    @Test
+    void closeRacingProducers_losesNothingUncounted() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            CollectingSink sink = new CollectingSink(true);
+            AuditLog audit = new AuditLog(sink, 1024, 64, AuditLog.OverflowPolicy.BLOCK, 1_000);
+
+            int producers = 4, perProducer = 5_000;
+            ExecutorService exec = Executors.newFixedThreadPool(producers);
+            CountDownLatch started = new CountDownLatch(producers);
+            for (int p = 0; p < producers; p++) {
+                exec.submit(() -> {
+                    started.countDown();
+                    for (int i = 0; i < perProducer; i++) audit.record(AuditEventType.LOGIN_SUCCESS, "race@bank.local");
+                });
+            }
+            started.await();
+            audit.close();
+            exec.shutdown();
+            assertTrue(exec.awaitTermination(1, TimeUnit.MINUTES));
+
+            assertEquals(producers * perProducer, sink.written.size() + audit.droppedCount(), "round " + round);
+        }
+    }
+
+    @Test
+    void fileSink_appendsJsonLines_andRolls(@TempDir Path dir) throws Exception {
+        FileAuditSink sink = new FileAuditSink(dir, 200, new ObjectMapper().findAndRegisterModules());
+        AuditLog audit = new AuditLog(sink, 64, 8, AuditLog.OverflowPolicy.BLOCK, 1_000);
+        for (int i = 0; i < 10; i++) audit.record(AuditEventType.LOGIN_SUCCESS, "u" + i + "@bank.local", (long) i + 1);
+        audit.close();
+
+        List<String> lines = new ArrayList<>();
+        try (var files = Files.list(dir)) {
+            for (Path f : files.sorted().toList()) lines.addAll(Files.readAllLines(f));
+        }
+        assertEquals(10, lines.size());
+        assertTrue(lines.stream().allMatch(l -> l.contains("\"type\":\"LOGIN_SUCCESS\"")));
+        try (var files = Files.list(dir)) {
+            assertTrue(files.count() > 1, "expected the 200-byte limit to roll the file");
+        }
+    }
+
+    @Test
+    void fileSink_neverOverwritesAnArchive_whenRollingWithinOneMillisecond(@TempDir Path dir) throws Exception {
+        FileAuditSink sink = new FileAuditSink(dir, 1, new ObjectMapper().findAndRegisterModules());
+        for (int i = 0; i < 200; i++) {
+            sink.write(List.of(new AuditRecord(Instant.now(), AuditEventType.LOGIN_SUCCESS, "u" + i, null,
+                    null, null, null, null)));
+        }
+        sink.close();
+
+        List<String> lines = new ArrayList<>();
+        try (var files = Files.list(dir)) {
+            for (Path f : files.sorted().toList()) lines.addAll(Files.readAllLines(f));
+        }
+        assertEquals(200, lines.size());
+        assertTrue(lines.get(199).contains("\"principal\":\"u199\""), "archives should sort in roll order");
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.bankapp.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TokenRevocationStoreTests {
+
+    @Autowired
+    TokenRevocationStore store;
+    @Autowired
+    RevokedTokenRepository repository;
+    @Autowired
+    JwtService jwtService;
+    @Value("${app.jwt.expiration-ms}")
+    long ttlMs;
+
+    private boolean revoked(TokenRevocationStore s, String token) {
+        Claims c = jwtService.extractAllClaims(token);
+        return s.isRevoked(c.getId(), c.getSubject(), JwtService.issuedAtMillis(c));
+    }
+
+    @Test
+    void revokedToken_isRejected_andOthersAreNot() {
+        String email = "rev-" + UUID.randomUUID() + "@bank.local";
+        String a = jwtService.generateToken(email);
+        String b = jwtService.generateToken(email);
+        assertNotEquals(jwtService.extractAllClaims(a).getId(), jwtService.extractAllClaims(b).getId());
+
+        Claims ca = jwtService.extractAllClaims(a);
+        store.revokeToken(ca.getId(), ca.getExpiration());
+
+        assertTrue(revoked(store, a));
+        assertFalse(revoked(store, b));
+    }
+
+    @Test
+    void revokeAllFor_rejectsEarlierTokensOfThatSubjectOnly() {
+        String email = "reset-" + UUID.randomUUID() + "@bank.local";
+        String before = jwtService.generateToken(email);
+        String bystander = jwtService.generateToken("other-" + email);
+        store.revokeAllFor(email);
+
+        assertTrue(revoked(store, before));
+        assertFalse(revoked(store, bystander));
+    }
+
+    @Test
+    void loginInTheSameSecondAsTheReset_isNotRevoked() {
+        String email = "same-second-" + UUID.randomUUID() + "@bank.local";
+        long second = System.currentTimeMillis() / 1000 * 1000;
+        String before = jwtService.generateToken(email, second + 100);
+        store.revokeAllFor(email, Instant.ofEpochMilli(second + 300));
+        String after = jwtService.generateToken(email, second + 500);
+
+        // identical "iat", so only the millisecond claim tells them apart
+        assertEquals(jwtService.extractAllClaims(before).getIssuedAt(), jwtService.extractAllClaims(after).getIssuedAt());
+        assertTrue(revoked(store, before));
+        assertFalse(revoked(store, after));
+    }
+
+    @Test
+    void revocations_survive_aRestart() {
+        String token = jwtService.generateToken("restart-" + UUID.randomUUID() + "@bank.local");
+        Claims c = jwtService.extractAllClaims(token);
+        store.revokeToken(c.getId(), c.getExpiration());
+
+        TokenRevocationStore restarted = new TokenRevocationStore(repository, ttlMs);
+        assertFalse(revoked(restarted, token));
+        restarted.rebuild();
+        assertTrue(revoked(restarted, token));
+    }
+
+    @Test
+    void expiredRevocations_areForgotten() {
+        TokenRevocationStore s = new TokenRevocationStore(repository, ttlMs);
+        String jti = UUID.randomUUID().toString();
+        s.revokeToken(jti, new Date(System.currentTimeMillis() - 1));
+        assertFalse(s.isRevoked(jti, null, System.currentTimeMillis()));
+    }
+
+    @Test
+    void purgeExpired_deletesExpiredRowsFromTheTable() {
+        String expired = UUID.randomUUID().toString(), live = UUID.randomUUID().toString();
+        store.revokeToken(expired, new Date(System.currentTimeMillis() - 1));
+        store.revokeToken(live, new Date(System.currentTimeMillis() + ttlMs));
+
+        store.purgeExpired();
+
+        List<String> keys = repository.findAll().stream().map(RevokedToken::getRevocationKey).toList();
+        assertFalse(keys.contains("jti:" + expired));
+        assertTrue(keys.contains("jti:" + live));
+    }
+}
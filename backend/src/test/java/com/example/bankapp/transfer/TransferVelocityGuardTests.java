@@ -0,0 +1,118 @@
+package com.example.bankapp.transfer;
+
+import com.example.bankapp.user.Account.AccountType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferVelocityGuardTests {
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+
+    private TransferVelocityGuard guard(int maxTrackedUsers) {
+        return new TransferVelocityGuard(Map.of(
+                AccountType.CHECKING, new TransferVelocityGuard.Limit(3, new BigDecimal("100.00")),
+                AccountType.SAVINGS, new TransferVelocityGuard.Limit(1, new BigDecimal("50.00"))),
+                maxTrackedUsers, clock::get);
+    }
+
+    @Test
+    void countLimit_slidesWithTheWindow() {
+        TransferVelocityGuard g = guard(10);
+        for (int i = 0; i < 3; i++) {
+            g.acquire(1L, AccountType.CHECKING, BigDecimal.ONE);
+            clock.addAndGet(10_000);
+        }
+        assertThrows(VelocityLimitExceededException.class, () -> g.acquire(1L, AccountType.CHECKING, BigDecimal.ONE));
+
+        // the first transfer was 30s ago; 31s later it has left the 60s window
+        clock.addAndGet(31_000);
+        g.acquire(1L, AccountType.CHECKING, BigDecimal.ONE);
+    }
+
+    @Test
+    void amountLimit_rejectionRecordsNothing() {
+        TransferVelocityGuard g = guard(10);
+        g.acquire(1L, AccountType.CHECKING, new BigDecimal("60.00"));
+        assertThrows(VelocityLimitExceededException.class, () -> g.acquire(1L, AccountType.CHECKING, new BigDecimal("40.01")));
+        g.acquire(1L, AccountType.CHECKING, new BigDecimal("40.00"));
+    }
+
+    @Test
+    void limits_areTrackedPerUserAndAccountType() {
+        TransferVelocityGuard g = guard(10);
+        g.acquire(1L, AccountType.SAVINGS, BigDecimal.TEN);
+        assertThrows(VelocityLimitExceededException.class, () -> g.acquire(1L, AccountType.SAVINGS, BigDecimal.TEN));
+        g.acquire(1L, AccountType.CHECKING, BigDecimal.TEN);
+        g.acquire(2L, AccountType.SAVINGS, BigDecimal.TEN);
+    }
+
+    @Test
+    void hugeAmount_isRejected_insteadOfWrappingTheBucket() {
+        TransferVelocityGuard g = guard(10);
+        // 2^40 cents packs to a bucket value of 0
+        BigDecimal wraps = BigDecimal.valueOf(1L << 40).movePointLeft(2);
+        assertThrows(VelocityLimitExceededException.class, () -> g.acquire(1L, AccountType.CHECKING, wraps));
+        g.acquire(1L, AccountType.CHECKING, new BigDecimal("100.00"));
+        assertThrows(VelocityLimitExceededException.class, () -> g.acquire(1L, AccountType.CHECKING, new BigDecimal("0.01")));
+    }
+
+    @Test
+    void release_givesThePermitBack() {
+        TransferVelocityGuard g = guard(10);
+        TransferVelocityGuard.Permit permit = g.acquire(1L, AccountType.SAVINGS, new BigDecimal("50.00"));
+        assertThrows(VelocityLimitExceededException.class, () -> g.acquire(1L, AccountType.SAVINGS, BigDecimal.ONE));
+
+        clock.addAndGet(5_000);                          // released from a later bucket than it was recorded in
+        g.release(permit);
+        g.acquire(1L, AccountType.SAVINGS, new BigDecimal("50.00"));
+    }
+
+    @Test
+    void idleUsers_areEvicted_andCapacityIsBounded() {
+        TransferVelocityGuard g = guard(2);
+        g.acquire(1L, AccountType.CHECKING, BigDecimal.ONE);
+        clock.addAndGet(1_000);
+        g.acquire(2L, AccountType.CHECKING, BigDecimal.ONE);
+        clock.addAndGet(1_000);
+
+        // at capacity with everyone active: the least recently seen user makes room
+        g.acquire(3L, AccountType.CHECKING, BigDecimal.ONE);
+        assertEquals(2, g.trackedUsers());
+        for (int i = 0; i < 2; i++) g.acquire(2L, AccountType.CHECKING, BigDecimal.ONE);
+        assertThrows(VelocityLimitExceededException.class, () -> g.acquire(2L, AccountType.CHECKING, BigDecimal.ONE));
+
+        clock.addAndGet(61_000);
+        g.acquire(4L, AccountType.CHECKING, BigDecimal.ONE);
+        assertEquals(1, g.trackedUsers());
+    }
+
+    @Test
+    void concurrentBurst_neverAdmitsMoreThanTheLimit() throws Exception {
+        TransferVelocityGuard g = guard(10);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService exec = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 64; i++) {
+            exec.submit(() -> {
+                start.await();
+                try {
+                    g.acquire(7L, AccountType.CHECKING, BigDecimal.ONE);
+                    admitted.incrementAndGet();
+                } catch (VelocityLimitExceededException ignored) {}
+                return null;
+            });
+        }
+        start.countDown();
+        exec.shutdown();
+        assertTrue(exec.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(admitted.get() <= 3, "admitted " + admitted.get());
+        assertTrue(admitted.get() >= 1);
+    }
+}
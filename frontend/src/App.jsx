@@ -25,6 +25,8 @@ export default function App(){
   }, [token])
 
   const logout = () => {
+    // revoke server-side too; the request captures the token before it is cleared below
+    api('/api/auth/logout', { method: 'POST' }).catch(()=>{})
     localStorage.removeItem('token')
     setToken(null)
     setMe(null)